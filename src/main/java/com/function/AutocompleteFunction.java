@@ -0,0 +1,102 @@
+package com.function;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.annotation.AuthorizationLevel;
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.functions.annotation.HttpTrigger;
+
+/**
+ * Azure Functions for person name type-ahead, served from {@link NamePrefixIndex}.
+ */
+public class AutocompleteFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteFunction.class);
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    // A cold instance's first request waits this long for the index build it triggered
+    private static final long BUILD_WAIT_MILLIS = 2000;
+
+    // Either view endpoint starts both builds on an instance the warmup trigger did not reach
+    static {
+        PersonViews.start();
+    }
+
+    @FunctionName("AutocompletePerson")
+    public HttpResponseMessage run(
+        @HttpTrigger(
+            name = "req",
+            methods = {HttpMethod.GET},
+            route = "person/autocomplete",
+            authLevel = AuthorizationLevel.ANONYMOUS)
+        HttpRequestMessage<Optional<String>> request,
+        final ExecutionContext context) {
+
+        String prefix = request.getQueryParameters().get("q");
+        String limitParam = request.getQueryParameters().get("limit");
+
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return buildMessage(request, "Query parameter q is required.", HttpStatus.BAD_REQUEST);
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (limitParam != null && !limitParam.isEmpty()) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                return buildMessage(request, "Query parameter limit must be a number.", HttpStatus.BAD_REQUEST);
+            }
+            if (limit <= 0 || limit > MAX_LIMIT) {
+                return buildMessage(request, "Query parameter limit must be between 1 and " + MAX_LIMIT + ".", HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        NamePrefixIndex index = NamePrefixIndex.getInstance();
+        if (!index.awaitBuilt(BUILD_WAIT_MILLIS)) {
+            logger.warn("Autocomplete requested before the name index was built.");
+            return buildMessage(request, "Name index is not available yet.", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        List<NamePrefixIndex.Match> matches = index.search(prefix, limit);
+        return request.createResponseBuilder(HttpStatus.OK)
+            .header("Content-Type", "application/json")
+            .body(new Gson().toJson(matches))
+            .build();
+    }
+
+    @FunctionName("AutocompletePersonStats")
+    public HttpResponseMessage stats(
+        @HttpTrigger(
+            name = "req",
+            methods = {HttpMethod.GET},
+            route = "person/autocomplete/stats",
+            authLevel = AuthorizationLevel.ANONYMOUS)
+        HttpRequestMessage<Optional<String>> request,
+        final ExecutionContext context) {
+
+        NamePrefixIndex.Stats stats = NamePrefixIndex.getInstance().stats();
+        return request.createResponseBuilder(HttpStatus.OK)
+            .header("Content-Type", "application/json")
+            .body(new Gson().toJson(stats))
+            .build();
+    }
+
+    private HttpResponseMessage buildMessage(HttpRequestMessage<?> request, String message, HttpStatus status) {
+        return request.createResponseBuilder(status)
+            .header("Content-Type", "application/json")
+            .body("{\"message\": \"" + message + "\"}")
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.function;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared JDBC connection lookup for the person functions.
+ */
+final class Database {
+
+    private static final Logger logger = LoggerFactory.getLogger(Database.class);
+
+    static final String CONNECTION_STRING_SETTING = "MYSQL_CONNECTION_STRING";
+    static final String SQL_TRACING_SETTING = "SQL_TRACING";
+
+    private static final boolean TRACING = !"false".equalsIgnoreCase(setting(SQL_TRACING_SETTING));
+
+    // Handles one row of a streamed query
+    interface RowConsumer {
+        void accept(ResultSet row) throws SQLException;
+    }
+
+    private Database() {
+    }
+
+    // A system property takes precedence so local hosts can override app settings
+    static String setting(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name);
+    }
+
+    static long longSetting(String name, long defaultValue) {
+        String value = setting(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid {} value: {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    static String connectionString() {
+        return setting(CONNECTION_STRING_SETTING);
+    }
+
+    // Connections are traced by SqlTracer unless SQL_TRACING is set to false
+    static Connection getConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(connectionString());
+        return TRACING ? TracingJdbc.wrap(connection, SqlTracer.getInstance()) : connection;
+    }
+
+    /**
+     * Runs a query and hands each row to {@code consumer} without holding the whole
+     * result in memory.
+     */
+    static void streamRows(String sql, RowConsumer consumer) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL Connector/J only streams rows instead of buffering the whole result for this fetch size
+            boolean mysql = conn.getMetaData().getDriverName().contains("MySQL");
+            stmt.setFetchSize(mysql ? Integer.MIN_VALUE : 1000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.function;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Optional;
@@ -60,22 +59,22 @@ public class DeleteFunction {
             name = "req",
             methods = {HttpMethod.DELETE},
             route = "person",
+            dataType = "binary",
             authLevel = AuthorizationLevel.ANONYMOUS)
-        HttpRequestMessage<Optional<String>> request,
+        HttpRequestMessage<Optional<byte[]>> request,
         final ExecutionContext context) {
 
         logger.info("Java HTTP trigger - Delete Person called.");
 
-        String requestBody = request.getBody().orElse("");
-        Gson gson = new Gson();
+        byte[] requestBody = request.getBody().orElse(new byte[0]);
 
-        if (requestBody.isEmpty()) {
+        if (requestBody.length == 0) {
             logger.warn("Delete request received with empty body.");
             return buildResponse(request, -1, "Request body is required.", HttpStatus.BAD_REQUEST);
         }
 
         try {
-            DeleteRequest deleteRequest = gson.fromJson(requestBody, DeleteRequest.class);
+            DeleteRequest deleteRequest = JsonBody.parse(requestBody, DeleteRequest.class);
             int id = deleteRequest.getId();
 
             if (id <= 0) {
@@ -84,10 +83,9 @@ public class DeleteFunction {
             }
 
             // ✅ Delete from database
-            String dbUrl = System.getenv("MYSQL_CONNECTION_STRING");
             logger.info("Attempting to delete record with ID: {}", id);
 
-            try (Connection conn = DriverManager.getConnection(dbUrl)) {
+            try (Connection conn = Database.getConnection()) {
                 String sql = "DELETE FROM persons WHERE id = ?";
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, id);
@@ -95,6 +93,7 @@ public class DeleteFunction {
                     int rowsDeleted = stmt.executeUpdate();
                     if (rowsDeleted > 0) {
                         logger.info("Successfully deleted record with ID: {}", id);
+                        PersonViews.onPersonDeleted(id);
                         return buildResponse(request, 0, "Record deleted successfully.", HttpStatus.OK);
                     } else {
                         logger.warn("No record found with ID: {}", id);
@@ -106,6 +105,9 @@ public class DeleteFunction {
                 return buildResponse(request, -1, "Database error.", HttpStatus.INTERNAL_SERVER_ERROR);
             }
 
+        } catch (JsonBody.PayloadTooLargeException e) {
+            logger.warn("Delete request rejected: {}", e.getMessage());
+            return buildResponse(request, -1, "Request body is too large.", HttpStatus.PAYLOAD_TOO_LARGE);
         } catch (Exception e) {
             logger.error("JSON parsing error during delete: {}", e.getMessage());
             return buildResponse(request, -1, "Invalid JSON format.", HttpStatus.BAD_REQUEST);
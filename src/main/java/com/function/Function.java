@@ -1,9 +1,10 @@
 package com.function;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -76,20 +77,20 @@ public class Function {
             name = "req",
             methods = { HttpMethod.POST },
             route = "person",
+            dataType = "binary",
             authLevel = AuthorizationLevel.ANONYMOUS)
-        HttpRequestMessage<Optional<String>> request,
+        HttpRequestMessage<Optional<byte[]>> request,
         final ExecutionContext context) {
 
         logger.info("Java HTTP trigger processed a POST request.");
-        String requestBody = request.getBody().orElse("");
-        Gson gson = new Gson();
+        byte[] requestBody = request.getBody().orElse(new byte[0]);
 
-        if (requestBody.isEmpty()) {
+        if (requestBody.length == 0) {
             return buildResponse(request, "", "", -1, "Unsuccessful - Request body is required.", HttpStatus.BAD_REQUEST);
         }
 
         try {
-            PersonRequest personRequest = gson.fromJson(requestBody, PersonRequest.class);
+            PersonRequest personRequest = JsonBody.parse(requestBody, PersonRequest.class);
 
             String firstName = personRequest.getFirstName() != null ? personRequest.getFirstName().trim() : null;
             String lastName = personRequest.getLastName() != null ? personRequest.getLastName().trim() : null;
@@ -139,11 +140,9 @@ public class Function {
             }
 
             // Insert into DB
-            String dbUrl = System.getenv("MYSQL_CONNECTION_STRING");
-
-            try (Connection conn = DriverManager.getConnection(dbUrl)) {
+            try (Connection conn = Database.getConnection()) {
                 String sql = "INSERT INTO persons (first_name, last_name, date_of_birth, residential_address, contact_number) VALUES (?, ?, ?, ?, ?)";
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                     stmt.setString(1, firstName);
                     stmt.setString(2, lastName);
                     stmt.setString(3, dob);
@@ -153,6 +152,7 @@ public class Function {
                     int rowsInserted = stmt.executeUpdate();
                     if (rowsInserted > 0) {
                         logger.info("Person inserted: {} {}", firstName, lastName);
+                        updateViews(stmt, firstName, lastName, dob);
                         return buildResponse(request, firstName, lastName, 0, "Success", HttpStatus.OK);
                     } else {
                         logger.error("Failed to insert person: {} {}", firstName, lastName);
@@ -164,12 +164,26 @@ public class Function {
                 return buildResponse(request, firstName, lastName, -1, "Unsuccessful - Database error.", HttpStatus.INTERNAL_SERVER_ERROR);
             }
 
+        } catch (JsonBody.PayloadTooLargeException e) {
+            logger.warn("Request rejected: {}", e.getMessage());
+            return buildResponse(request, "", "", -1, "Unsuccessful - Request body is too large.", HttpStatus.PAYLOAD_TOO_LARGE);
         } catch (Exception e) {
             logger.error("Parsing error: {}", e.getMessage());
             return buildResponse(request, "", "", -1, "Unsuccessful - Invalid JSON format.", HttpStatus.BAD_REQUEST);
         }
     }
 
+    // The insert is already committed, so a failed key lookup is logged rather than reported to the caller
+    private void updateViews(PreparedStatement stmt, String firstName, String lastName, String dob) {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            if (keys.next()) {
+                PersonViews.onPersonSaved(keys.getInt(1), firstName, lastName, dob);
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Failed to read the generated ID for {} {}: {}", firstName, lastName, e.getMessage());
+        }
+    }
+
     private HttpResponseMessage buildResponse(HttpRequestMessage<?> request, String firstName, String lastName, int statusCode, String message, HttpStatus status) {
         Gson gson = new Gson();
         JsonResponse response = new JsonResponse(firstName, lastName, statusCode, message);
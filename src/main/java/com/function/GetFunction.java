@@ -1,7 +1,6 @@
 package com.function;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
@@ -60,9 +59,8 @@ public class GetFunction {
         logger.info("Java HTTP trigger - Get Person(s)");
 
         String idParam = request.getQueryParameters().get("id");
-        String dbUrl = System.getenv("MYSQL_CONNECTION_STRING");
 
-        try (Connection conn = DriverManager.getConnection(dbUrl)) {
+        try (Connection conn = Database.getConnection()) {
             Gson gson = new Gson();
             if (idParam != null && !idParam.isEmpty()) {
                 // Get person by ID
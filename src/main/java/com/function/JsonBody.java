@@ -0,0 +1,137 @@
+package com.function;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.google.gson.Gson;
+
+/**
+ * Parses binary request bodies for the write functions straight from the bytes,
+ * without decoding them into an intermediate String first.
+ */
+final class JsonBody {
+
+    // Largest body the write functions accept; a single person record is well under 1 KB
+    static final int MAX_BODY_BYTES = 16 * 1024;
+
+    // Gson is thread-safe and caches its type adapters, so one instance is shared
+    private static final Gson GSON = new Gson();
+
+    private JsonBody() {
+    }
+
+    /**
+     * Thrown when a body exceeds {@link #MAX_BODY_BYTES}.
+     */
+    static final class PayloadTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        PayloadTooLargeException(int length) {
+            super("Request body of " + length + " bytes exceeds the limit of " + MAX_BODY_BYTES + " bytes.");
+        }
+    }
+
+    static <T> T parse(byte[] body, Class<T> type) throws IOException {
+        // The runtime hands over the raw bytes, so the limit is checked before anything is decoded
+        if (body.length > MAX_BODY_BYTES) {
+            throw new PayloadTooLargeException(body.length);
+        }
+        // Gson reads the reader incrementally and rejects trailing content after the document
+        try (Reader reader = new Utf8Reader(body)) {
+            return GSON.fromJson(reader, type);
+        }
+    }
+
+    /**
+     * Decodes UTF-8 straight from the body into the caller's buffer. Unlike
+     * InputStreamReader it keeps no intermediate byte or char buffers, which for
+     * a body of a few hundred bytes would cost more than the body itself.
+     * Malformed input decodes to the same U+FFFD replacements as
+     * {@code new String(bytes, UTF_8)}, one per maximal invalid subsequence.
+     */
+    static final class Utf8Reader extends Reader {
+        private static final char REPLACEMENT = '\uFFFD';
+
+        private final byte[] bytes;
+        private int pos;
+        private char pendingLowSurrogate;
+
+        Utf8Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            if (pendingLowSurrogate != 0) {
+                cbuf[off + n++] = pendingLowSurrogate;
+                pendingLowSurrogate = 0;
+            }
+            while (n < len && pos < bytes.length) {
+                int lead = bytes[pos] & 0xFF;
+                if (lead < 0x80) {
+                    cbuf[off + n++] = (char) lead;
+                    pos++;
+                    continue;
+                }
+
+                // The second byte's range rules out overlong forms and values past U+10FFFF
+                int continuation;
+                int codePoint;
+                int secondMin = 0x80;
+                int secondMax = 0xBF;
+                if (lead >= 0xC2 && lead <= 0xDF) {
+                    continuation = 1;
+                    codePoint = lead & 0x1F;
+                } else if (lead >= 0xE0 && lead <= 0xEF) {
+                    continuation = 2;
+                    codePoint = lead & 0x0F;
+                    secondMin = lead == 0xE0 ? 0xA0 : 0x80;
+                } else if (lead >= 0xF0 && lead <= 0xF4) {
+                    continuation = 3;
+                    codePoint = lead & 0x07;
+                    secondMin = lead == 0xF0 ? 0x90 : 0x80;
+                    secondMax = lead == 0xF4 ? 0x8F : 0xBF;
+                } else {
+                    cbuf[off + n++] = REPLACEMENT;
+                    pos++;
+                    continue;
+                }
+
+                // An invalid sequence is replaced up to, not including, the first byte that cannot continue it
+                int read = 1;
+                while (read <= continuation && pos + read < bytes.length) {
+                    int next = bytes[pos + read] & 0xFF;
+                    if (next < (read == 1 ? secondMin : 0x80) || next > (read == 1 ? secondMax : 0xBF)) {
+                        break;
+                    }
+                    codePoint = (codePoint << 6) | (next & 0x3F);
+                    read++;
+                }
+                pos += read;
+                // Like the JDK, an encoded surrogate is replaced as one unit
+                if (read <= continuation
+                        || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                    cbuf[off + n++] = REPLACEMENT;
+                } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    cbuf[off + n++] = (char) codePoint;
+                } else {
+                    cbuf[off + n++] = Character.highSurrogate(codePoint);
+                    if (n < len) {
+                        cbuf[off + n++] = Character.lowSurrogate(codePoint);
+                    } else {
+                        pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                    }
+                }
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
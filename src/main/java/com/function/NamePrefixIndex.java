@@ -0,0 +1,247 @@
+package com.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process prefix index over person first and last names, used for type-ahead.
+ *
+ * <p>Each distinct lower-cased first or last name is a key in a sorted map that
+ * holds the sorted ids of everyone with that name, so common names are stored
+ * once and a prefix lookup is a range scan over adjacent keys. The index
+ * is built by a background scan of the persons table when the class loads and is
+ * kept current by the write functions through {@link #onPersonSaved} and
+ * {@link #onPersonDeleted}. The scan repeats every
+ * {@code NAME_INDEX_RECONCILE_MINUTES} (default 15) to pick up writes made by
+ * other instances or outside the functions.
+ */
+final class NamePrefixIndex {
+
+    static final String RECONCILE_MINUTES_SETTING = "NAME_INDEX_RECONCILE_MINUTES";
+    private static final long DEFAULT_RECONCILE_MINUTES = 15;
+
+    private static final char KEY_UPPER_BOUND = '\uFFFF';
+
+    private static final NamePrefixIndex INSTANCE = new NamePrefixIndex();
+
+    static {
+        INSTANCE.view.scheduleRebuilds(Database.longSetting(RECONCILE_MINUTES_SETTING, DEFAULT_RECONCILE_MINUTES));
+    }
+
+    private final RebuildableView<Snapshot> view = new RebuildableView<>("name index",
+        "SELECT id, first_name, last_name FROM persons", Snapshot::new,
+        (snapshot, row) -> snapshot.put(new Match(row.getInt("id"), row.getString("first_name"), row.getString("last_name"))),
+        snapshot -> snapshot.byId.size());
+
+    // A match returned to the caller
+    static final class Match {
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+
+        Match(int id, String firstName, String lastName) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        int getId() { return id; }
+        String getFirstName() { return firstName; }
+        String getLastName() { return lastName; }
+    }
+
+    // Footprint and freshness figures reported by the stats endpoint
+    static final class Stats {
+        private final boolean built;
+        private final int persons;
+        private final int keys;
+        private final long estimatedBytes;
+        private final long lastRebuildMillis;
+
+        Stats(boolean built, int persons, int keys, long estimatedBytes, long lastRebuildMillis) {
+            this.built = built;
+            this.persons = persons;
+            this.keys = keys;
+            this.estimatedBytes = estimatedBytes;
+            this.lastRebuildMillis = lastRebuildMillis;
+        }
+
+        boolean isBuilt() { return built; }
+        int getPersons() { return persons; }
+        int getKeys() { return keys; }
+        long getEstimatedBytes() { return estimatedBytes; }
+        long getLastRebuildMillis() { return lastRebuildMillis; }
+    }
+
+    private static final class Snapshot {
+        private final ConcurrentSkipListMap<String, int[]> idsByName = new ConcurrentSkipListMap<>();
+        private final Map<Integer, Match> byId = new ConcurrentHashMap<>();
+
+        void put(Match match) {
+            remove(match.getId());
+            byId.put(match.getId(), match);
+            for (String name : names(match)) {
+                idsByName.merge(name, new int[] {match.getId()}, (ids, added) -> withId(ids, added[0]));
+            }
+        }
+
+        void remove(int id) {
+            Match existing = byId.remove(id);
+            if (existing != null) {
+                for (String name : names(existing)) {
+                    idsByName.computeIfPresent(name, (key, ids) -> withoutId(ids, id));
+                }
+            }
+        }
+    }
+
+    NamePrefixIndex() {
+    }
+
+    /**
+     * Returns the shared index, which is built in the background when the class
+     * loads; check {@link #isBuilt()} before searching it.
+     */
+    static NamePrefixIndex getInstance() {
+        return INSTANCE;
+    }
+
+    static void onPersonSaved(int id, String firstName, String lastName) {
+        INSTANCE.put(id, firstName, lastName);
+    }
+
+    static void onPersonDeleted(int id) {
+        INSTANCE.remove(id);
+    }
+
+    boolean isBuilt() {
+        return view.isBuilt();
+    }
+
+    boolean awaitBuilt(long millis) {
+        return view.awaitBuilt(millis);
+    }
+
+    void put(int id, String firstName, String lastName) {
+        Match match = new Match(id, firstName, lastName);
+        view.apply(snapshot -> snapshot.put(match));
+    }
+
+    void remove(int id) {
+        view.apply(snapshot -> snapshot.remove(id));
+    }
+
+    /**
+     * Returns up to {@code limit} people whose first, last or full name starts with
+     * {@code prefix}, ignoring case, in name order.
+     */
+    List<Match> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // For "john d" the candidates are everyone with a name starting "john", filtered on the full name
+        int space = normalized.indexOf(' ');
+        String scanPrefix = space < 0 ? normalized : normalized.substring(0, space);
+
+        Snapshot snapshot = view.current();
+        ConcurrentNavigableMap<String, int[]> range =
+            snapshot.idsByName.subMap(scanPrefix, true, scanPrefix + KEY_UPPER_BOUND, false);
+
+        // A person can match on both of their names, so collect by id
+        Map<Integer, Match> matches = new LinkedHashMap<>();
+        for (int[] ids : range.values()) {
+            for (int id : ids) {
+                Match match = snapshot.byId.get(id);
+                if (match == null || (space >= 0 && !matchesFully(match, normalized))) {
+                    continue;
+                }
+                matches.putIfAbsent(id, match);
+                if (matches.size() == limit) {
+                    return new ArrayList<>(matches.values());
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Entry counts and a rough heap estimate: each key costs a String, a skip list
+     * node with its share of index nodes and an id array, and each person one Match,
+     * its map entry and its two name Strings.
+     */
+    Stats stats() {
+        Snapshot snapshot = view.current();
+        long bytes = 0;
+        for (Map.Entry<String, int[]> entry : snapshot.idsByName.entrySet()) {
+            bytes += stringBytes(entry.getKey()) + 40 + 16 + 4L * entry.getValue().length;
+        }
+        for (Match match : snapshot.byId.values()) {
+            bytes += 24 + 48 + stringBytes(match.getFirstName()) + stringBytes(match.getLastName());
+        }
+        return new Stats(view.isBuilt(), snapshot.byId.size(), snapshot.idsByName.size(), bytes, view.getLastRebuildMillis());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static List<String> names(Match match) {
+        List<String> names = new ArrayList<>(2);
+        String first = normalize(match.getFirstName());
+        String last = normalize(match.getLastName());
+        if (!first.isEmpty()) {
+            names.add(first);
+        }
+        if (!last.isEmpty() && !last.equals(first)) {
+            names.add(last);
+        }
+        return names;
+    }
+
+    // Names may themselves contain spaces, so a spaced prefix can also match a single name
+    private static boolean matchesFully(Match match, String prefix) {
+        String first = normalize(match.getFirstName());
+        String last = normalize(match.getLastName());
+        return (first + " " + last).startsWith(prefix) || first.startsWith(prefix) || last.startsWith(prefix);
+    }
+
+    private static int[] withId(int[] ids, int id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return updated;
+    }
+
+    // Returning null drops the name from the map once nobody has it
+    private static int[] withoutId(int[] ids, int id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        int[] updated = new int[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        return updated;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,194 @@
+package com.function;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process person counters for the stats endpoint: total persons, births per
+ * decade and persons per last-name initial.
+ *
+ * <p>The counters are built by a background scan of the persons table when the
+ * class loads, then moved by the write functions through {@link #onPersonSaved}
+ * and {@link #onPersonDeleted}, so reads never touch the table. Each person's
+ * bucket is remembered by id so an update or delete can take it back out. The
+ * scan repeats every {@code PERSON_STATS_RECONCILE_MINUTES} (default 15) to
+ * correct drift from writes made by other instances or outside the functions.
+ */
+final class PersonStats {
+
+    static final String RECONCILE_MINUTES_SETTING = "PERSON_STATS_RECONCILE_MINUTES";
+    private static final long DEFAULT_RECONCILE_MINUTES = 15;
+
+    // Decades from 1800s to 2090s, plus one bucket for a missing or unparseable date of birth
+    private static final int FIRST_DECADE = 1800;
+    private static final int DECADES = 30;
+    private static final int UNKNOWN_DECADE = DECADES;
+
+    // A to Z, plus one bucket for anything else
+    private static final int INITIALS = 26;
+    private static final int OTHER_INITIAL = INITIALS;
+
+    private static final PersonStats INSTANCE = new PersonStats();
+
+    static {
+        INSTANCE.view.scheduleRebuilds(Database.longSetting(RECONCILE_MINUTES_SETTING, DEFAULT_RECONCILE_MINUTES));
+    }
+
+    private final RebuildableView<Tally> view = new RebuildableView<>("person stats",
+        "SELECT id, last_name, date_of_birth FROM persons", Tally::new,
+        (tally, row) -> tally.put(row.getInt("id"), buckets(row.getString("last_name"), row.getString("date_of_birth"))),
+        Tally::total);
+
+    private static final class Tally {
+        private final AtomicLongArray decades = new AtomicLongArray(DECADES + 1);
+        private final AtomicLongArray initials = new AtomicLongArray(INITIALS + 1);
+        // Packed decade and initial bucket per person id
+        private final Map<Integer, Integer> bucketsById = new ConcurrentHashMap<>();
+
+        void put(int id, int buckets) {
+            remove(id);
+            bucketsById.put(id, buckets);
+            decades.incrementAndGet(decadeOf(buckets));
+            initials.incrementAndGet(initialOf(buckets));
+        }
+
+        void remove(int id) {
+            Integer buckets = bucketsById.remove(id);
+            if (buckets != null) {
+                decades.decrementAndGet(decadeOf(buckets));
+                initials.decrementAndGet(initialOf(buckets));
+            }
+        }
+
+        long total() {
+            return bucketsById.size();
+        }
+    }
+
+    // Counters as reported to callers
+    static final class Snapshot {
+        private final boolean built;
+        private final long totalPersons;
+        private final Map<String, Long> birthsPerDecade;
+        private final Map<String, Long> lastNameInitials;
+        private final String lastReconciledAt;
+
+        Snapshot(boolean built, long totalPersons, Map<String, Long> birthsPerDecade,
+                 Map<String, Long> lastNameInitials, Instant lastReconciledAt) {
+            this.built = built;
+            this.totalPersons = totalPersons;
+            this.birthsPerDecade = birthsPerDecade;
+            this.lastNameInitials = lastNameInitials;
+            this.lastReconciledAt = lastReconciledAt != null ? lastReconciledAt.toString() : null;
+        }
+
+        boolean isBuilt() { return built; }
+        long getTotalPersons() { return totalPersons; }
+        Map<String, Long> getBirthsPerDecade() { return birthsPerDecade; }
+        Map<String, Long> getLastNameInitials() { return lastNameInitials; }
+        String getLastReconciledAt() { return lastReconciledAt; }
+    }
+
+    PersonStats() {
+    }
+
+    /**
+     * Returns the shared counters, which are built in the background when the class
+     * loads; check {@link #isBuilt()} before serving them.
+     */
+    static PersonStats getInstance() {
+        return INSTANCE;
+    }
+
+    static void onPersonSaved(int id, String lastName, String dateOfBirth) {
+        INSTANCE.put(id, lastName, dateOfBirth);
+    }
+
+    static void onPersonDeleted(int id) {
+        INSTANCE.remove(id);
+    }
+
+    boolean isBuilt() {
+        return view.isBuilt();
+    }
+
+    boolean awaitBuilt(long millis) {
+        return view.awaitBuilt(millis);
+    }
+
+    void put(int id, String lastName, String dateOfBirth) {
+        int buckets = buckets(lastName, dateOfBirth);
+        view.apply(tally -> tally.put(id, buckets));
+    }
+
+    void remove(int id) {
+        view.apply(tally -> tally.remove(id));
+    }
+
+    /**
+     * Reads the counters; the cost depends on the number of buckets, not persons.
+     */
+    Snapshot snapshot() {
+        Tally tally = view.current();
+        Map<String, Long> decades = new TreeMap<>();
+        for (int i = 0; i < DECADES; i++) {
+            long count = tally.decades.get(i);
+            if (count > 0) {
+                decades.put((FIRST_DECADE + i * 10) + "s", count);
+            }
+        }
+        if (tally.decades.get(UNKNOWN_DECADE) > 0) {
+            decades.put("unknown", tally.decades.get(UNKNOWN_DECADE));
+        }
+
+        Map<String, Long> initials = new LinkedHashMap<>();
+        for (int i = 0; i < INITIALS; i++) {
+            long count = tally.initials.get(i);
+            if (count > 0) {
+                initials.put(String.valueOf((char) ('A' + i)), count);
+            }
+        }
+        if (tally.initials.get(OTHER_INITIAL) > 0) {
+            initials.put("other", tally.initials.get(OTHER_INITIAL));
+        }
+        return new Snapshot(view.isBuilt(), tally.total(), decades, initials, view.getLastRebuiltAt());
+    }
+
+    static int buckets(String lastName, String dateOfBirth) {
+        return decadeBucket(dateOfBirth) << 8 | initialBucket(lastName);
+    }
+
+    private static int decadeOf(int buckets) {
+        return buckets >>> 8;
+    }
+
+    private static int initialOf(int buckets) {
+        return buckets & 0xFF;
+    }
+
+    // Dates are stored as YYYY-MM-DD, so the year is the first four characters
+    private static int decadeBucket(String dateOfBirth) {
+        if (dateOfBirth == null || dateOfBirth.trim().length() < 4) {
+            return UNKNOWN_DECADE;
+        }
+        try {
+            int year = Integer.parseInt(dateOfBirth.trim().substring(0, 4));
+            int decade = (year - FIRST_DECADE) / 10;
+            return year >= FIRST_DECADE && decade < DECADES ? decade : UNKNOWN_DECADE;
+        } catch (NumberFormatException e) {
+            return UNKNOWN_DECADE;
+        }
+    }
+
+    private static int initialBucket(String lastName) {
+        if (lastName == null || lastName.trim().isEmpty()) {
+            return OTHER_INITIAL;
+        }
+        char initial = Character.toUpperCase(lastName.trim().charAt(0));
+        return initial >= 'A' && initial <= 'Z' ? initial - 'A' : OTHER_INITIAL;
+    }
+}
@@ -0,0 +1,57 @@
+package com.function;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.annotation.AuthorizationLevel;
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.functions.annotation.HttpTrigger;
+
+/**
+ * Azure Function serving aggregate person statistics from {@link PersonStats}.
+ */
+public class PersonStatsFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonStatsFunction.class);
+
+    // A cold instance's first request waits this long for the stats build it triggered
+    private static final long BUILD_WAIT_MILLIS = 2000;
+
+    // Either view endpoint starts both builds on an instance the warmup trigger did not reach
+    static {
+        PersonViews.start();
+    }
+
+    @FunctionName("PersonStats")
+    public HttpResponseMessage run(
+        @HttpTrigger(
+            name = "req",
+            methods = {HttpMethod.GET},
+            route = "person/stats",
+            authLevel = AuthorizationLevel.ANONYMOUS)
+        HttpRequestMessage<Optional<String>> request,
+        final ExecutionContext context) {
+
+        PersonStats stats = PersonStats.getInstance();
+        if (!stats.awaitBuilt(BUILD_WAIT_MILLIS)) {
+            logger.warn("Person stats requested before they were built.");
+            return request.createResponseBuilder(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Content-Type", "application/json")
+                .body("{\"message\": \"Person stats are not available yet.\"}")
+                .build();
+        }
+
+        return request.createResponseBuilder(HttpStatus.OK)
+            .header("Content-Type", "application/json")
+            .body(new Gson().toJson(stats.snapshot()))
+            .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Startup and write hooks for the in-memory person views, {@link NamePrefixIndex}
+ * and {@link PersonStats}. The write hooks run after the database change has
+ * committed, so a failure is logged and left for the next rebuild instead of
+ * failing the request.
+ */
+final class PersonViews {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonViews.class);
+
+    private PersonViews() {
+    }
+
+    // Loading the view classes starts their background builds
+    static void start() {
+        NamePrefixIndex.getInstance();
+        PersonStats.getInstance();
+    }
+
+    static void onPersonSaved(int id, String firstName, String lastName, String dateOfBirth) {
+        try {
+            NamePrefixIndex.onPersonSaved(id, firstName, lastName);
+            PersonStats.onPersonSaved(id, lastName, dateOfBirth);
+        } catch (RuntimeException e) {
+            logger.error("Failed to update in-memory views for ID {}: {}", id, e.getMessage());
+        }
+    }
+
+    static void onPersonDeleted(int id) {
+        try {
+            NamePrefixIndex.onPersonDeleted(id);
+            PersonStats.onPersonDeleted(id);
+        } catch (RuntimeException e) {
+            logger.error("Failed to update in-memory views for deleted ID {}: {}", id, e.getMessage());
+        }
+    }
+}
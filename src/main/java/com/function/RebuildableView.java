@@ -0,0 +1,193 @@
+package com.function;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory contents derived from a scan of one query, kept current between scans
+ * by write hooks through {@link #apply}.
+ *
+ * <p>{@link #rebuild} scans into a fresh instance while recording the changes
+ * applied meanwhile, then replays them onto it before publishing it, so a write
+ * made during the scan is kept whether or not the scan saw it. Scheduled rebuilds
+ * for every view run on one shared daemon thread, never on a request thread.
+ */
+final class RebuildableView<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RebuildableView.class);
+
+    // Retry delays until the first build succeeds, doubling up to the cap
+    private static final long FIRST_RETRY_MILLIS = 1000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    private static ScheduledExecutorService rebuilder;
+
+    // Adds one scanned row to the contents being built
+    interface RowLoader<T> {
+        void load(T target, ResultSet row) throws SQLException;
+    }
+
+    private final String name;
+    private final String sql;
+    private final Supplier<T> factory;
+    private final RowLoader<T> loader;
+    private final ToLongFunction<T> size;
+
+    private final CountDownLatch firstBuild = new CountDownLatch(1);
+
+    private volatile T current;
+    private volatile boolean built;
+    private volatile boolean scheduled;
+    private volatile boolean lastRebuildFailed;
+    private volatile Instant lastRebuiltAt;
+    private volatile long lastRebuildMillis = -1;
+
+    // Changes made while a rebuild is scanning, replayed onto the new contents before they are published
+    private List<Consumer<T>> pendingChanges;
+
+    RebuildableView(String name, String sql, Supplier<T> factory, RowLoader<T> loader, ToLongFunction<T> size) {
+        this.name = name;
+        this.sql = sql;
+        this.factory = factory;
+        this.loader = loader;
+        this.size = size;
+        this.current = factory.get();
+    }
+
+    T current() {
+        return current;
+    }
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    Instant getLastRebuiltAt() {
+        return lastRebuiltAt;
+    }
+
+    long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    /**
+     * Waits up to {@code millis} for the first build, so a caller arriving while it
+     * is pending or running can be served rather than turned away. Returns at once
+     * when no build is scheduled or the last attempt failed.
+     */
+    boolean awaitBuilt(long millis) {
+        if (built || !scheduled || lastRebuildFailed) {
+            return built;
+        }
+        try {
+            return firstBuild.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return built;
+        }
+    }
+
+    synchronized void apply(Consumer<T> change) {
+        change.accept(current);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Builds straight away on the shared rebuild thread, retrying after 1s, 2s, 4s
+     * and so on up to a minute until that succeeds, then rebuilds every
+     * {@code minutes}; a non-positive period stops after the first success.
+     * Nothing is scheduled without a database.
+     */
+    void scheduleRebuilds(long minutes) {
+        if (Database.connectionString() == null) {
+            logger.warn("No database configured, {} will not be built.", name);
+            return;
+        }
+        scheduled = true;
+        rebuilder().execute(() -> rebuildAndReschedule(minutes, FIRST_RETRY_MILLIS));
+    }
+
+    private void rebuildAndReschedule(long minutes, long retryMillis) {
+        try {
+            rebuild();
+        } catch (SQLException e) {
+            logger.error("Database error while rebuilding {}: {}", name, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Rebuilding {} failed: {}", name, e.getMessage());
+        }
+        if (!built) {
+            logger.warn("{} is not built yet, retrying in {} ms", name, retryMillis);
+            long nextRetryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            rebuilder().schedule(() -> rebuildAndReschedule(minutes, nextRetryMillis), retryMillis, TimeUnit.MILLISECONDS);
+        } else if (minutes > 0) {
+            rebuilder().schedule(() -> rebuildAndReschedule(minutes, FIRST_RETRY_MILLIS), minutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private static synchronized ScheduledExecutorService rebuilder() {
+        if (rebuilder == null) {
+            rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "view-rebuilder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return rebuilder;
+    }
+
+    /**
+     * Replaces the contents with a fresh streaming scan; returns at once if a
+     * rebuild is already running.
+     */
+    void rebuild() throws SQLException {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+            lastRebuildFailed = false;
+        }
+
+        long start = System.nanoTime();
+        T fresh = factory.get();
+        try {
+            Database.streamRows(sql, row -> loader.load(fresh, row));
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+                lastRebuildFailed = true;
+            }
+            throw e;
+        }
+
+        long drift;
+        synchronized (this) {
+            for (Consumer<T> change : pendingChanges) {
+                change.accept(fresh);
+            }
+            pendingChanges = null;
+            drift = built ? size.applyAsLong(fresh) - size.applyAsLong(current) : 0;
+            current = fresh;
+            built = true;
+            lastRebuiltAt = Instant.now();
+        }
+        lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        firstBuild.countDown();
+        logger.info("Rebuilt {}: {} rows (drift {}) in {} ms", name, size.applyAsLong(fresh), drift, lastRebuildMillis);
+    }
+}
@@ -0,0 +1,94 @@
+package com.function;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+import com.google.gson.Gson;
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.annotation.AuthorizationLevel;
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.functions.annotation.HttpTrigger;
+
+/**
+ * Azure Function exposing the per-statement SQL aggregates collected by {@link SqlTracer}.
+ */
+public class SqlStatsFunction {
+
+    @FunctionName("SqlStats")
+    public HttpResponseMessage run(
+        @HttpTrigger(
+            name = "req",
+            methods = {HttpMethod.GET},
+            route = "diagnostics/sql",
+            authLevel = AuthorizationLevel.FUNCTION)
+        HttpRequestMessage<Optional<String>> request,
+        final ExecutionContext context) {
+
+        List<SqlTracer.StatementStats> stats = SqlTracer.getInstance().snapshot();
+
+        // ?format=prometheus returns the text exposition format for scrapers
+        if ("prometheus".equals(request.getQueryParameters().get("format"))) {
+            return request.createResponseBuilder(HttpStatus.OK)
+                .header("Content-Type", "text/plain; version=0.0.4")
+                .body(toPrometheus(stats))
+                .build();
+        }
+        return request.createResponseBuilder(HttpStatus.OK)
+            .header("Content-Type", "application/json")
+            .body(new Gson().toJson(stats))
+            .build();
+    }
+
+    // Each metric family is written as one group, as the exposition format requires
+    private String toPrometheus(List<SqlTracer.StatementStats> stats) {
+        StringBuilder out = new StringBuilder();
+        appendCounter(out, "sql_statement_executions_total", stats, s -> (double) s.getCount(), false);
+        appendCounter(out, "sql_statement_errors_total", stats, s -> (double) s.getErrors(), false);
+        appendCounter(out, "sql_statement_rows_total", stats, s -> (double) s.getRows(), false);
+        appendCounter(out, "sql_statement_fetch_seconds_total", stats, SqlTracer.StatementStats::getFetchMillis, true);
+        appendCounter(out, "sql_statement_prepare_seconds_total", stats, SqlTracer.StatementStats::getPrepareMillis, true);
+
+        out.append("# TYPE sql_statement_max_seconds gauge\n");
+        for (SqlTracer.StatementStats s : stats) {
+            appendSample(out, "sql_statement_max_seconds", labels(s, null), s.getMaxMillis() / 1000.0);
+        }
+
+        out.append("# TYPE sql_statement_seconds summary\n");
+        for (SqlTracer.StatementStats s : stats) {
+            appendSample(out, "sql_statement_seconds", labels(s, "0.5"), s.getP50Millis() / 1000.0);
+            appendSample(out, "sql_statement_seconds", labels(s, "0.9"), s.getP90Millis() / 1000.0);
+            appendSample(out, "sql_statement_seconds", labels(s, "0.99"), s.getP99Millis() / 1000.0);
+            appendSample(out, "sql_statement_seconds_sum", labels(s, null), s.getTotalMillis() / 1000.0);
+            appendSample(out, "sql_statement_seconds_count", labels(s, null), s.getCount());
+        }
+        return out.toString();
+    }
+
+    private void appendCounter(StringBuilder out, String metric, List<SqlTracer.StatementStats> stats,
+                               ToDoubleFunction<SqlTracer.StatementStats> value, boolean millis) {
+        out.append("# TYPE ").append(metric).append(" counter\n");
+        for (SqlTracer.StatementStats s : stats) {
+            double v = value.applyAsDouble(s);
+            appendSample(out, metric, labels(s, null), millis ? v / 1000.0 : v);
+        }
+    }
+
+    private void appendSample(StringBuilder out, String metric, String labels, double value) {
+        out.append(metric).append(labels).append(' ').append(String.format(Locale.ROOT, "%.6f", value)).append('\n');
+    }
+
+    private String labels(SqlTracer.StatementStats s, String quantile) {
+        String sql = "sql=\"" + escape(s.getSql()) + "\"";
+        return quantile == null ? "{" + sql + "}" : "{" + sql + ",quantile=\"" + quantile + "\"}";
+    }
+
+    private String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
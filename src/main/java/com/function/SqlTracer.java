@@ -0,0 +1,261 @@
+package com.function;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-statement timing aggregates fed by {@link TracingJdbc}, keyed by SQL shape:
+ * the statement text with whitespace collapsed and literals replaced by {@code ?}.
+ * Executions slower than the {@code SQL_SLOW_THRESHOLD_MS} setting are logged with
+ * the types of their bind parameters, never the values.
+ */
+final class SqlTracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlTracer.class);
+
+    static final String SLOW_THRESHOLD_SETTING = "SQL_SLOW_THRESHOLD_MS";
+    private static final long DEFAULT_SLOW_THRESHOLD_MS = 200;
+
+    // Bounds memory if a caller builds SQL with unparameterised values the shape rules miss
+    private static final int MAX_SHAPES = 500;
+    private static final String OVERFLOW_SHAPE = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final SqlTracer INSTANCE = new SqlTracer(
+        Database.longSetting(SLOW_THRESHOLD_SETTING, DEFAULT_SLOW_THRESHOLD_MS));
+
+    private final long slowThresholdMicros;
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+
+    // Aggregates for one statement shape, in microseconds
+    private static final class ShapeStats {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAdder fetchMicros = new LongAdder();
+        private final LongAdder prepareCount = new LongAdder();
+        private final LongAdder prepareMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final Histogram histogram = new Histogram();
+
+        ShapeStats(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    // Aggregates for one statement shape as reported to callers, in milliseconds
+    static final class StatementStats {
+        private final String sql;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final double totalMillis;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double fetchMillis;
+        private final long prepareCount;
+        private final double prepareMillis;
+
+        StatementStats(ShapeStats stats) {
+            this.sql = stats.sql;
+            this.count = stats.count.sum();
+            this.errors = stats.errors.sum();
+            this.rows = stats.rows.sum();
+            long total = stats.totalMicros.sum();
+            long max = stats.maxMicros.get();
+            this.totalMillis = total / 1000.0;
+            this.meanMillis = count == 0 ? 0 : total / 1000.0 / count;
+            this.maxMillis = max / 1000.0;
+            this.p50Millis = Math.min(stats.histogram.percentile(50), max) / 1000.0;
+            this.p90Millis = Math.min(stats.histogram.percentile(90), max) / 1000.0;
+            this.p99Millis = Math.min(stats.histogram.percentile(99), max) / 1000.0;
+            this.fetchMillis = stats.fetchMicros.sum() / 1000.0;
+            this.prepareCount = stats.prepareCount.sum();
+            this.prepareMillis = stats.prepareMicros.sum() / 1000.0;
+        }
+
+        String getSql() { return sql; }
+        long getCount() { return count; }
+        long getErrors() { return errors; }
+        long getRows() { return rows; }
+        double getTotalMillis() { return totalMillis; }
+        double getMeanMillis() { return meanMillis; }
+        double getMaxMillis() { return maxMillis; }
+        double getP50Millis() { return p50Millis; }
+        double getP90Millis() { return p90Millis; }
+        double getP99Millis() { return p99Millis; }
+        double getFetchMillis() { return fetchMillis; }
+        long getPrepareCount() { return prepareCount; }
+        double getPrepareMillis() { return prepareMillis; }
+    }
+
+    /**
+     * Log-linear histogram of microsecond values: exact below 8, then eight
+     * buckets per power of two, so a reported percentile is within 12.5% of the
+     * true value.
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKETS = 8;
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+        void record(long micros) {
+            counts.incrementAndGet(index(Math.max(0, micros)));
+        }
+
+        // Upper bound of the bucket holding the given percentile
+        long percentile(double p) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length() - 1);
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int msb = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) ((value >>> (msb - 3)) & (SUB_BUCKETS - 1));
+            return (msb - 2) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int msb = index / SUB_BUCKETS + 2;
+            long width = 1L << (msb - 3);
+            return (SUB_BUCKETS + index % SUB_BUCKETS) * width + width - 1;
+        }
+    }
+
+    SqlTracer(long slowThresholdMillis) {
+        this.slowThresholdMicros = slowThresholdMillis * 1000;
+    }
+
+    static SqlTracer getInstance() {
+        return INSTANCE;
+    }
+
+    void recordPrepare(String sql, long nanos) {
+        ShapeStats stats = statsFor(sql);
+        stats.prepareCount.increment();
+        stats.prepareMicros.add(nanos / 1000);
+    }
+
+    // A statement that failed to prepare never executed, so only the error is counted
+    void recordError(String sql) {
+        statsFor(sql).errors.increment();
+    }
+
+    /**
+     * Records one execution; the execution time covers execute plus result-set
+     * iteration, and {@code prepareNanos} is only non-zero for the first execution
+     * of a prepared statement.
+     */
+    void recordExecution(String sql, long prepareNanos, long executeNanos, long fetchNanos, long rows, String bindShapes) {
+        record(statsFor(sql), prepareNanos, executeNanos, fetchNanos, rows, bindShapes, false);
+    }
+
+    /**
+     * Records an execution that threw. Its time still counts towards the latency
+     * aggregates, since a statement that times out is the slowest kind.
+     */
+    void recordFailedExecution(String sql, long prepareNanos, long executeNanos, String bindShapes) {
+        ShapeStats stats = statsFor(sql);
+        stats.errors.increment();
+        record(stats, prepareNanos, executeNanos, 0, 0, bindShapes, true);
+    }
+
+    private void record(ShapeStats stats, long prepareNanos, long executeNanos, long fetchNanos, long rows, String bindShapes, boolean failed) {
+        long micros = (executeNanos + fetchNanos) / 1000;
+        stats.count.increment();
+        stats.rows.add(rows);
+        stats.totalMicros.add(micros);
+        stats.fetchMicros.add(fetchNanos / 1000);
+        stats.maxMicros.accumulateAndGet(micros, Math::max);
+        stats.histogram.record(micros);
+
+        if (micros + prepareNanos / 1000 >= slowThresholdMicros) {
+            logger.warn("Slow {}SQL ({} ms: prepare {} ms, execute {} ms, fetch {} ms, {} rows): {} binds={}",
+                failed ? "failed " : "", (micros + prepareNanos / 1000) / 1000.0, prepareNanos / 1_000_000.0,
+                executeNanos / 1_000_000.0, fetchNanos / 1_000_000.0, rows, stats.sql, bindShapes);
+        }
+    }
+
+    /**
+     * Current aggregates, most total time first.
+     */
+    List<StatementStats> snapshot() {
+        List<StatementStats> result = new ArrayList<>();
+        for (ShapeStats stats : shapes.values()) {
+            result.add(new StatementStats(stats));
+        }
+        result.sort(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed());
+        return result;
+    }
+
+    void reset() {
+        shapes.clear();
+    }
+
+    private ShapeStats statsFor(String sql) {
+        // Plain statements have no SQL for executeBatch(), and the cache map rejects null keys
+        String shape = sql == null ? shape(null) : shapeCache.get(sql);
+        if (shape == null) {
+            shape = shape(sql);
+            // Stop caching once full so unparameterised SQL cannot grow the cache without bound
+            if (shapeCache.size() < MAX_SHAPES * 4) {
+                shapeCache.putIfAbsent(sql, shape);
+            }
+        }
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= MAX_SHAPES) {
+            shape = OVERFLOW_SHAPE;
+        }
+        return shapes.computeIfAbsent(shape, ShapeStats::new);
+    }
+
+    static String shape(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
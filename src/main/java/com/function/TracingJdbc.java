@@ -0,0 +1,240 @@
+package com.function;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC proxies that time prepare, execute and result-set iteration and report
+ * them to a {@link SqlTracer}. Every other call passes straight through.
+ */
+final class TracingJdbc {
+
+    private TracingJdbc() {
+    }
+
+    static Connection wrap(Connection connection, SqlTracer tracer) {
+        return proxy(Connection.class, new ConnectionHandler(connection, tracer));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TracingJdbc.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection delegate;
+        private final SqlTracer tracer;
+
+        ConnectionHandler(Connection delegate, SqlTracer tracer) {
+            this.delegate = delegate;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                String sql = (String) args[0];
+                long start = System.nanoTime();
+                Statement statement;
+                try {
+                    statement = (Statement) call(delegate, method, args);
+                } catch (Throwable e) {
+                    tracer.recordError(sql);
+                    throw e;
+                }
+                long prepareNanos = System.nanoTime() - start;
+                tracer.recordPrepare(sql, prepareNanos);
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, prepareNanos, tracer));
+            }
+            if (name.equals("createStatement")) {
+                Statement statement = (Statement) call(delegate, method, args);
+                return proxy(Statement.class, new StatementHandler(statement, null, 0, tracer));
+            }
+            return call(delegate, method, args);
+        }
+    }
+
+    // One execution of a statement, completed when its result set is exhausted or closed
+    private static final class Execution {
+        private final SqlTracer tracer;
+        private final String sql;
+        private final long prepareNanos;
+        private final long executeNanos;
+        private final String bindShapes;
+        private long fetchNanos;
+        private long rows;
+        private boolean finished;
+
+        Execution(SqlTracer tracer, String sql, long prepareNanos, long executeNanos, String bindShapes) {
+            this.tracer = tracer;
+            this.sql = sql;
+            this.prepareNanos = prepareNanos;
+            this.executeNanos = executeNanos;
+            this.bindShapes = bindShapes;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                tracer.recordExecution(sql, prepareNanos, executeNanos, fetchNanos, rows, bindShapes);
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement delegate;
+        private final String sql;
+        private final SqlTracer tracer;
+        private final Map<Integer, String> binds = new TreeMap<>();
+        private long unreportedPrepareNanos;
+        private Execution current;
+
+        StatementHandler(Statement delegate, String sql, long prepareNanos, SqlTracer tracer) {
+            this.delegate = delegate;
+            this.sql = sql;
+            this.unreportedPrepareNanos = prepareNanos;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) call(delegate, method, args);
+                if (resultSet != null && current != null && !current.finished) {
+                    return proxy(ResultSet.class, new ResultSetHandler(resultSet, current));
+                }
+                return resultSet;
+            }
+            if (name.equals("close")) {
+                finishCurrent();
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer && delegate instanceof PreparedStatement) {
+                binds.put((Integer) args[0], bindShape(name, args[1]));
+            }
+            return call(delegate, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishCurrent();
+            // Plain statements carry their SQL on the execute call
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            String bindShapes = binds.isEmpty() ? "[]" : binds.values().toString();
+            long prepareNanos = unreportedPrepareNanos;
+            unreportedPrepareNanos = 0;
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = call(delegate, method, args);
+            } catch (Throwable e) {
+                tracer.recordFailedExecution(executedSql, prepareNanos, System.nanoTime() - start, bindShapes);
+                throw e;
+            }
+            long executeNanos = System.nanoTime() - start;
+
+            Execution execution = new Execution(tracer, executedSql, prepareNanos, executeNanos, bindShapes);
+            if (result instanceof ResultSet) {
+                current = execution;
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, execution));
+            }
+            if (Boolean.TRUE.equals(result)) {
+                // execute() produced a result set, which the caller fetches with getResultSet()
+                current = execution;
+                return result;
+            }
+            execution.rows = updateCount(result);
+            execution.finish();
+            return result;
+        }
+
+        private void finishCurrent() {
+            if (current != null) {
+                current.finish();
+                current = null;
+            }
+        }
+
+        private static long updateCount(Object result) {
+            if (result instanceof Number) {
+                return Math.max(0, ((Number) result).longValue());
+            }
+            long total = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    total += Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    total += Math.max(0, count);
+                }
+            }
+            return total;
+        }
+
+        // The type and size of a bind value, e.g. String(12); values are never logged
+        private static String bindShape(String setter, Object value) {
+            if (value == null || setter.equals("setNull")) {
+                return "null";
+            }
+            if (value instanceof CharSequence) {
+                return "String(" + ((CharSequence) value).length() + ")";
+            }
+            if (value instanceof byte[]) {
+                return "bytes(" + ((byte[]) value).length + ")";
+            }
+            return value.getClass().getSimpleName();
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet delegate;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet delegate, Execution execution) {
+            this.delegate = delegate;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                long start = System.nanoTime();
+                Object hasRow = call(delegate, method, args);
+                execution.fetchNanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(hasRow)) {
+                    execution.rows++;
+                } else {
+                    execution.finish();
+                }
+                return hasRow;
+            }
+            if (name.equals("close")) {
+                execution.finish();
+            }
+            return call(delegate, method, args);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.function;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Optional;
@@ -85,22 +84,22 @@ public class UpdateFunction {
                 name = "req",
                 methods = {HttpMethod.PUT},
                 route = "person",
+                dataType = "binary",
                 authLevel = AuthorizationLevel.ANONYMOUS) 
-            HttpRequestMessage<Optional<String>> request,
+            HttpRequestMessage<Optional<byte[]>> request,
             final ExecutionContext context) {
 
         logger.info("Java HTTP trigger - Update Person called.");
 
-        String requestBody = request.getBody().orElse("");
-        Gson gson = new Gson();
+        byte[] requestBody = request.getBody().orElse(new byte[0]);
 
-        if (requestBody.isEmpty()) {
+        if (requestBody.length == 0) {
             logger.warn("Request body is missing.");
             return buildResponse(request, -1, "Request body is required.", HttpStatus.BAD_REQUEST);
         }
 
         try {
-            UpdateRequest updateRequest = gson.fromJson(requestBody, UpdateRequest.class);
+            UpdateRequest updateRequest = JsonBody.parse(requestBody, UpdateRequest.class);
 
             // Validate required fields
             if (updateRequest.getId() <= 0) {
@@ -142,10 +141,9 @@ public class UpdateFunction {
             }
 
             // ✅ Update in database
-            String dbUrl = System.getenv("MYSQL_CONNECTION_STRING");
             logger.info("Attempting database update for ID: {}", updateRequest.getId());
 
-            try (Connection conn = DriverManager.getConnection(dbUrl)) {
+            try (Connection conn = Database.getConnection()) {
                 String sql = "UPDATE persons SET first_name = ?, last_name = ?, date_of_birth = ?, residential_address = ?, contact_number = ? WHERE id = ?";
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setString(1, updateRequest.getFirstName());
@@ -158,6 +156,8 @@ public class UpdateFunction {
                     int rowsUpdated = stmt.executeUpdate();
                     if (rowsUpdated > 0) {
                         logger.info("Successfully updated record for ID: {}", updateRequest.getId());
+                        PersonViews.onPersonSaved(updateRequest.getId(), updateRequest.getFirstName(),
+                            updateRequest.getLastName(), updateRequest.getDateOfBirth());
                         return buildResponse(request, 0, "Record updated successfully.", HttpStatus.OK);
                     } else {
                         logger.warn("No record found for ID: {}", updateRequest.getId());
@@ -169,6 +169,9 @@ public class UpdateFunction {
                 return buildResponse(request, -1, "Database error.", HttpStatus.INTERNAL_SERVER_ERROR);
             }
 
+        } catch (JsonBody.PayloadTooLargeException e) {
+            logger.warn("Update request rejected: {}", e.getMessage());
+            return buildResponse(request, -1, "Request body is too large.", HttpStatus.PAYLOAD_TOO_LARGE);
         } catch (Exception e) {
             logger.error("JSON parsing error: {}", e.getMessage());
             return buildResponse(request, -1, "Invalid JSON format.", HttpStatus.BAD_REQUEST);
@@ -0,0 +1,28 @@
+package com.function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.functions.annotation.WarmupTrigger;
+
+/**
+ * Azure Function run when a new instance warms up, before it receives traffic,
+ * so the in-memory person views start building ahead of the first request. The
+ * warmup trigger only fires on Premium and Dedicated plans; elsewhere the views
+ * start on first use.
+ */
+public class WarmupFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupFunction.class);
+
+    @FunctionName("Warmup")
+    public void run(
+        @WarmupTrigger(name = "warmupContext") Object warmupContext,
+        final ExecutionContext context) {
+
+        logger.info("Instance warming up, starting person view builds.");
+        PersonViews.start();
+    }
+}
@@ -0,0 +1,93 @@
+package com.function;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.Gson;
+
+/**
+ * Measures bytes allocated per request body parse on the calling thread,
+ * comparing the previous String binding against {@link JsonBody}. The shared
+ * Gson row separates the cost of building a Gson per request from the cost of
+ * decoding to a String.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.function.BodyParseAllocationBenchmark
+ * </pre>
+ */
+public class BodyParseAllocationBenchmark {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final Gson SHARED_GSON = new Gson();
+
+    // Same shape as the request models in the write functions
+    static class PersonBody {
+        int id;
+        String firstName;
+        String lastName;
+        String dateOfBirth;
+        String residentialAddress;
+        String contactNumber;
+    }
+
+    public static void main(String[] args) throws Exception {
+        byte[] body = ("{\"id\": 3, \"firstName\": \"Michael\", \"lastName\": \"Scott\", \"dateOfBirth\": \"1975-03-15\", "
+                + "\"residentialAddress\": \"1725 Slough Avenue\", \"contactNumber\": \"+94771234567\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] oversized = new byte[JsonBody.MAX_BODY_BYTES * 4];
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) {
+            parseAsString(body);
+            parseAsStringShared(body);
+            JsonBody.parse(body, PersonBody.class);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parseAsString(body);
+        }
+        long stringBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parseAsStringShared(body);
+        }
+        long sharedStringBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            JsonBody.parse(body, PersonBody.class);
+        }
+        long streamingBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            try {
+                JsonBody.parse(oversized, PersonBody.class);
+            } catch (JsonBody.PayloadTooLargeException expected) {
+                // rejected before decoding
+            }
+        }
+        long rejectBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        System.out.printf("body size            %8d bytes%n", body.length);
+        System.out.printf("String + new Gson    %8d bytes/request%n", stringBytes / ITERATIONS);
+        System.out.printf("String + shared Gson %8d bytes/request%n", sharedStringBytes / ITERATIONS);
+        System.out.printf("JsonBody.parse       %8d bytes/request%n", streamingBytes / ITERATIONS);
+        System.out.printf("oversized rejection  %8d bytes/request (%d byte body)%n", rejectBytes / ITERATIONS, oversized.length);
+    }
+
+    // The previous binding: decode to a String, then parse it with a Gson built per request
+    private static PersonBody parseAsString(byte[] body) {
+        String requestBody = new String(body, StandardCharsets.UTF_8);
+        Gson gson = new Gson();
+        return gson.fromJson(requestBody, PersonBody.class);
+    }
+
+    // String decoding alone, with the Gson instance shared as JsonBody does
+    private static PersonBody parseAsStringShared(byte[] body) {
+        return SHARED_GSON.fromJson(new String(body, StandardCharsets.UTF_8), PersonBody.class);
+    }
+}
@@ -1,5 +1,6 @@
 package com.function;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -30,13 +31,13 @@ public class FunctionTest {
     public void testHttpTriggerJava() throws Exception {
         // Setup
         @SuppressWarnings("unchecked")
-        final HttpRequestMessage<Optional<String>> req = mock(HttpRequestMessage.class);
+        final HttpRequestMessage<Optional<byte[]>> req = mock(HttpRequestMessage.class);
 
         final Map<String, String> queryParams = new HashMap<>();
         queryParams.put("name", "Azure");
         doReturn(queryParams).when(req).getQueryParameters();
 
-        final Optional<String> queryBody = Optional.of("{\"firstName\": \"John\", \"lastName\": \"Dawson\"}");
+        final Optional<byte[]> queryBody = Optional.of("{\"firstName\": \"John\", \"lastName\": \"Dawson\"}".getBytes(StandardCharsets.UTF_8));
         doReturn(queryBody).when(req).getBody();
 
         doAnswer(new Answer<HttpResponseMessage.Builder>() {
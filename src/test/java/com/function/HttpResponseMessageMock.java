@@ -42,6 +42,10 @@ public class HttpResponseMessageMock implements HttpResponseMessage {
         return this.body;
     }
 
+    public Map<String, String> getHeaders() {
+        return this.headers;
+    }
+
     public static class HttpResponseMessageBuilderMock implements HttpResponseMessage.Builder {
         private Object body;
         private int httpStatusCode;
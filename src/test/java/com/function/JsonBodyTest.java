@@ -0,0 +1,69 @@
+package com.function;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Unit test for JsonBody class.
+ */
+public class JsonBodyTest {
+
+    static class Person {
+        int id;
+        String firstName;
+    }
+
+    @Test
+    public void testParsesFromBytes() throws Exception {
+        byte[] body = "{\"id\": 7, \"firstName\": \"Kisara\"}".getBytes(StandardCharsets.UTF_8);
+
+        Person person = JsonBody.parse(body, Person.class);
+
+        assertEquals(7, person.id);
+        assertEquals("Kisara", person.firstName);
+    }
+
+    @Test
+    public void testRejectsOversizedBody() {
+        byte[] body = new byte[JsonBody.MAX_BODY_BYTES + 1];
+
+        assertThrows(JsonBody.PayloadTooLargeException.class, () -> JsonBody.parse(body, Person.class));
+    }
+
+    @Test
+    public void testRejectsTrailingContent() {
+        byte[] body = "{\"id\": 7} {\"id\": 8}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(JsonSyntaxException.class, () -> JsonBody.parse(body, Person.class));
+    }
+
+    @Test
+    public void testUtf8ReaderMatchesStringDecoding() {
+        byte[] valid = "Zoë Ñuñez 名前 \uD83D\uDE00".getBytes(StandardCharsets.UTF_8);
+        byte[] malformed = {'A', (byte) 0xC3, 'B', (byte) 0xE2, (byte) 0x82, (byte) 0xFF, (byte) 0xF0, (byte) 0x9F};
+        byte[] overlong = {(byte) 0xE0, (byte) 0x80, (byte) 0x80, (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80};
+        byte[] surrogate = {(byte) 0xED, (byte) 0xA0, (byte) 0x80, 'Z'};
+
+        assertEquals(new String(valid, StandardCharsets.UTF_8), readAll(valid));
+        assertEquals(new String(malformed, StandardCharsets.UTF_8), readAll(malformed));
+        assertEquals(new String(overlong, StandardCharsets.UTF_8), readAll(overlong));
+        assertEquals(new String(surrogate, StandardCharsets.UTF_8), readAll(surrogate));
+    }
+
+    // Reads one char at a time so surrogate pairs straddle read calls
+    private static String readAll(byte[] bytes) {
+        JsonBody.Utf8Reader reader = new JsonBody.Utf8Reader(bytes);
+        StringBuilder out = new StringBuilder();
+        char[] buffer = new char[1];
+        int n;
+        while ((n = reader.read(buffer, 0, 1)) != -1) {
+            out.append(buffer, 0, n);
+        }
+        return out.toString();
+    }
+}
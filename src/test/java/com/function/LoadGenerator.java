@@ -0,0 +1,394 @@
+package com.function;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.gson.Gson;
+
+/**
+ * Load generator for the person API, reporting throughput and latency
+ * percentiles per route.
+ *
+ * <p>Closed-loop mode runs a fixed number of workers that each wait for a
+ * response before sending the next request. Open-loop mode issues requests on a
+ * fixed schedule regardless of how fast responses come back, and measures
+ * latency from the scheduled send time so queueing delay is not hidden.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.function.LoadGenerator \
+ *     -Dexec.args="--mode open --rate 500 --duration 30"
+ * </pre>
+ */
+public class LoadGenerator {
+
+    // Request mix, weights sum to 100
+    enum Route {
+        GET_BY_ID("GET /api/person?id", 30),
+        GET_ALL("GET /api/person", 5),
+        AUTOCOMPLETE("GET /api/person/autocomplete", 10),
+        STATS("GET /api/person/stats", 5),
+        CREATE("POST /api/person", 25),
+        UPDATE("PUT /api/person", 15),
+        DELETE("DELETE /api/person", 10);
+
+        final String label;
+        final int weight;
+
+        Route(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        static Route pick(ThreadLocalRandom random) {
+            int roll = random.nextInt(100);
+            for (Route route : values()) {
+                roll -= route.weight;
+                if (roll < 0) {
+                    return route;
+                }
+            }
+            return GET_BY_ID;
+        }
+    }
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Michael", "Sarah", "David", "Emma", "Kisara", "Nimal"};
+    private static final String[] LAST_NAMES = {"Doe", "Scott", "Silva", "Perera", "Smith", "Fernando", "Brown", "Dawson"};
+
+    private final HttpClient client;
+    private final URI endpoint;
+    private final IdPool ids = new IdPool();
+    private final Map<Route, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    public LoadGenerator(String baseUrl, int connections) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(connections))
+                .build();
+        this.endpoint = URI.create(baseUrl + LocalFunctionHost.ROUTE);
+        for (Route route : Route.values()) {
+            recorders.put(route, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String url = options.getOrDefault("url", "http://localhost:7071");
+        String mode = options.getOrDefault("mode", "closed");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "100"));
+        if ("open".equals(mode) && rate <= 0) {
+            throw new IllegalArgumentException("--rate must be greater than 0, got: " + rate);
+        }
+
+        LoadGenerator generator = new LoadGenerator(url, concurrency);
+        generator.createRows(rows);
+        generator.loadIds();
+
+        if (warmup > 0) {
+            generator.run(mode, concurrency, rate, warmup);
+            generator.reset();
+            generator.loadIds();
+        }
+        long elapsed = generator.run(mode, concurrency, rate, duration);
+        generator.report(mode, elapsed);
+        System.exit(0);
+    }
+
+    /** Creates {@code count} persons so reads, updates and deletes have rows to hit. */
+    void createRows(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            send(Route.CREATE).get();
+        }
+        reset();
+    }
+
+    /**
+     * Replaces the id pool with the ids currently in the table, so reads, updates
+     * and deletes target rows that exist rather than guessing from a counter.
+     */
+    void loadIds() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(endpoint).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + endpoint + " returned " + response.statusCode());
+        }
+        List<Integer> loaded = new ArrayList<>();
+        for (PersonId person : new Gson().fromJson(response.body(), PersonId[].class)) {
+            loaded.add(person.id);
+        }
+        ids.replaceAll(loaded);
+        if (loaded.isEmpty()) {
+            System.out.println("Warning: no persons in the table, id-based routes will only measure 404s");
+        }
+    }
+
+    /** Runs the given mode for {@code seconds} and returns the elapsed wall time in nanoseconds. */
+    long run(String mode, int concurrency, int rate, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        if ("open".equals(mode)) {
+            runOpenLoop(rate, deadline);
+        } else {
+            runClosedLoop(concurrency, deadline);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void runClosedLoop(int workers, long deadline) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        send(Route.pick(ThreadLocalRandom.current())).join();
+                    } catch (RuntimeException e) {
+                        // already recorded as an error
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+    }
+
+    private void runOpenLoop(int rate, long deadline) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be greater than 0, got: " + rate);
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long next = System.nanoTime();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        while (next < deadline) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(sendAt(Route.pick(ThreadLocalRandom.current()), next));
+            next += interval;
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Route route) {
+        return sendAt(route, System.nanoTime());
+    }
+
+    // Latency is measured from the intended start, which for open-loop runs is the schedule slot
+    private CompletableFuture<HttpResponse<String>> sendAt(Route route, long intendedStart) {
+        LatencyRecorder recorder = recorders.get(route);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // A delete takes its id out of the pool up front so concurrent requests stop picking it
+        int id = route == Route.DELETE ? ids.take(random) : ids.pick(random);
+        return client.sendAsync(buildRequest(route, id), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    if (error != null) {
+                        recorder.record(latency, -1);
+                    } else {
+                        recorder.record(latency, response.statusCode());
+                    }
+                    // The row may still exist if the delete failed for any reason other than it being gone
+                    boolean deleted = response != null && (response.statusCode() / 100 == 2 || response.statusCode() == 404);
+                    if (route == Route.DELETE && id > 0 && !deleted) {
+                        ids.add(id);
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(Route route, int id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        switch (route) {
+            case GET_BY_ID:
+                return builder.uri(URI.create(endpoint + "?id=" + id)).GET().build();
+            case GET_ALL:
+                return builder.uri(endpoint).GET().build();
+            case STATS:
+                return builder.uri(URI.create(endpoint + "/stats")).GET().build();
+            case AUTOCOMPLETE:
+                String name = random.nextBoolean() ? FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] : LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                return builder.uri(URI.create(endpoint + "/autocomplete?q=" + name.substring(0, 1 + random.nextInt(3)))).GET().build();
+            case CREATE:
+                return builder.uri(endpoint)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(personJson(0, random)))
+                        .build();
+            case UPDATE:
+                return builder.uri(endpoint)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(personJson(id, random)))
+                        .build();
+            default:
+                return builder.uri(endpoint)
+                        .header("Content-Type", "application/json")
+                        .method("DELETE", HttpRequest.BodyPublishers.ofString("{\"id\": " + id + "}"))
+                        .build();
+        }
+    }
+
+    private static String personJson(int id, ThreadLocalRandom random) {
+        return "{" + (id > 0 ? "\"id\": " + id + ", " : "")
+                + "\"firstName\": \"" + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "\", "
+                + "\"lastName\": \"" + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + "\", "
+                + "\"dateOfBirth\": \"" + (1950 + random.nextInt(60)) + "-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10) + "\", "
+                + "\"residentialAddress\": \"" + (1 + random.nextInt(999)) + " Main Street\", "
+                + "\"contactNumber\": \"+9477" + (1000000 + random.nextInt(9000000)) + "\"}";
+    }
+
+    void reset() {
+        recorders.values().forEach(LatencyRecorder::reset);
+    }
+
+    void report(String mode, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = 0;
+        System.out.printf("%nmode=%s elapsed=%.1fs%n", mode, seconds);
+        System.out.printf("%-28s %8s %9s %7s %7s %9s %9s %9s %9s%n",
+                "route", "count", "req/s", "non2xx", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<Route, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot s = entry.getValue().snapshot();
+            total += s.count;
+            System.out.printf("%-28s %8d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().label, s.count, s.count / seconds, s.non2xx, s.errors,
+                    s.percentile(50) / 1e6, s.percentile(90) / 1e6, s.percentile(99) / 1e6, s.max() / 1e6);
+        }
+        System.out.printf("%-28s %8d %9.1f%n", "total", total, total / seconds);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    // Only the id is needed from the GET /api/person listing
+    private static class PersonId {
+        int id;
+    }
+
+    /**
+     * Ids known to exist, with constant-time random pick and removal. Rows created
+     * during a run are not added, since the create response does not carry the id.
+     */
+    static class IdPool {
+        private final List<Integer> ids = new ArrayList<>();
+        private final Map<Integer, Integer> indexById = new HashMap<>();
+
+        synchronized void replaceAll(List<Integer> loaded) {
+            ids.clear();
+            indexById.clear();
+            loaded.forEach(this::add);
+        }
+
+        synchronized void add(int id) {
+            if (!indexById.containsKey(id)) {
+                indexById.put(id, ids.size());
+                ids.add(id);
+            }
+        }
+
+        // 0 when the pool is empty, which no row has, so the request measures the 404 path
+        synchronized int pick(ThreadLocalRandom random) {
+            return ids.isEmpty() ? 0 : ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized int take(ThreadLocalRandom random) {
+            int id = pick(random);
+            Integer index = indexById.remove(id);
+            if (index != null) {
+                int last = ids.remove(ids.size() - 1);
+                if (last != id) {
+                    ids.set(index, last);
+                    indexById.put(last, index);
+                }
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Keeps every sample so percentiles are exact; a run of a few minutes on a
+     * laptop stays well within memory.
+     */
+    static class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private int non2xx;
+        private int errors;
+
+        synchronized void record(long nanos, int statusCode) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (statusCode < 0) {
+                errors++;
+            } else if (statusCode < 200 || statusCode >= 300) {
+                non2xx++;
+            }
+        }
+
+        synchronized void reset() {
+            count = 0;
+            non2xx = 0;
+            errors = 0;
+        }
+
+        synchronized Snapshot snapshot() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return new Snapshot(sorted, non2xx, errors);
+        }
+
+        static class Snapshot {
+            final long[] sorted;
+            final int count;
+            final int non2xx;
+            final int errors;
+
+            Snapshot(long[] sorted, int non2xx, int errors) {
+                this.sorted = sorted;
+                this.count = sorted.length;
+                this.non2xx = non2xx;
+                this.errors = errors;
+            }
+
+            // Nearest-rank percentile
+            long percentile(double p) {
+                if (count == 0) {
+                    return 0;
+                }
+                int rank = (int) Math.ceil(p / 100.0 * count);
+                return sorted[Math.max(0, Math.min(count, rank) - 1)];
+            }
+
+            long max() {
+                return count == 0 ? 0 : sorted[count - 1];
+            }
+        }
+    }
+}
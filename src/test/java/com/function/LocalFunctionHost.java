@@ -0,0 +1,202 @@
+package com.function;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.microsoft.azure.functions.ExecutionContext;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP host that serves the person functions on {@code /api/person}
+ * and its sub-routes without the Azure Functions runtime, backed by an in-memory
+ * H2 database unless {@code MYSQL_CONNECTION_STRING} is set as a system property.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.function.LocalFunctionHost -Dexec.args="7071 16"
+ * </pre>
+ */
+public class LocalFunctionHost {
+    static final String ROUTE = "/api/person";
+    static final String SQL_STATS_ROUTE = "/api/diagnostics/sql";
+    static final String H2_URL = "jdbc:h2:mem:persons;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS persons ("
+            + "id INT PRIMARY KEY AUTO_INCREMENT, "
+            + "first_name VARCHAR(100), "
+            + "last_name VARCHAR(100), "
+            + "date_of_birth DATE, "
+            + "residential_address VARCHAR(255), "
+            + "contact_number VARCHAR(20))";
+
+    private final Function createFunction = new Function();
+    private final GetFunction getFunction = new GetFunction();
+    private final UpdateFunction updateFunction = new UpdateFunction();
+    private final DeleteFunction deleteFunction = new DeleteFunction();
+    private final AutocompleteFunction autocompleteFunction = new AutocompleteFunction();
+    private final SqlStatsFunction sqlStatsFunction = new SqlStatsFunction();
+    private final PersonStatsFunction personStatsFunction = new PersonStatsFunction();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public LocalFunctionHost(int port, int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.createContext(ROUTE, this::handle);
+        this.server.createContext(SQL_STATS_ROUTE, this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7071;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 2;
+
+        if (System.getProperty(Database.CONNECTION_STRING_SETTING) == null) {
+            System.setProperty(Database.CONNECTION_STRING_SETTING, H2_URL);
+        }
+        initSchema();
+        // Stands in for the warmup trigger, which the local host does not fire
+        PersonViews.start();
+
+        LocalFunctionHost host = new LocalFunctionHost(port, threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(host::stop));
+        host.start();
+        System.out.printf("Serving http://localhost:%d%s with %d threads%n", port, ROUTE, threads);
+    }
+
+    static void initSchema() throws SQLException {
+        try (Connection conn = Database.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE);
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            HttpResponseMessage response = dispatch(exchange);
+            writeResponse(exchange, response);
+        } catch (RuntimeException e) {
+            byte[] message = new Gson().toJson(Collections.singletonMap("message", e.toString())).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpStatus.INTERNAL_SERVER_ERROR.value(), message.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(message);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private HttpResponseMessage dispatch(HttpExchange exchange) throws IOException {
+        ExecutionContext context = new LocalExecutionContext(exchange.getRequestMethod());
+        String path = exchange.getRequestURI().getPath();
+        if (!path.equals(ROUTE)) {
+            return dispatchSubRoute(exchange, path, context);
+        }
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                return getFunction.run(new LocalHttpRequest<>(exchange, Optional.empty()), context);
+            case "POST":
+                return createFunction.run(new LocalHttpRequest<>(exchange, readBody(exchange)), context);
+            case "PUT":
+                return updateFunction.run(new LocalHttpRequest<>(exchange, readBody(exchange)), context);
+            case "DELETE":
+                return deleteFunction.run(new LocalHttpRequest<>(exchange, readBody(exchange)), context);
+            default:
+                return new HttpResponseMessageMock.HttpResponseMessageBuilderMock()
+                        .status(HttpStatus.METHOD_NOT_ALLOWED)
+                        .build();
+        }
+    }
+
+    private HttpResponseMessage dispatchSubRoute(HttpExchange exchange, String path, ExecutionContext context) {
+        boolean get = "GET".equals(exchange.getRequestMethod());
+        if (get && path.equals(SQL_STATS_ROUTE)) {
+            return sqlStatsFunction.run(new LocalHttpRequest<>(exchange, Optional.empty()), context);
+        }
+        if (get && path.equals(ROUTE + "/autocomplete")) {
+            return autocompleteFunction.run(new LocalHttpRequest<>(exchange, Optional.empty()), context);
+        }
+        if (get && path.equals(ROUTE + "/stats")) {
+            return personStatsFunction.run(new LocalHttpRequest<>(exchange, Optional.empty()), context);
+        }
+        if (get && path.equals(ROUTE + "/autocomplete/stats")) {
+            return autocompleteFunction.stats(new LocalHttpRequest<>(exchange, Optional.empty()), context);
+        }
+        return new HttpResponseMessageMock.HttpResponseMessageBuilderMock()
+                .status(HttpStatus.NOT_FOUND)
+                .build();
+    }
+
+    // Mirrors the runtime, which hands the functions an empty Optional when there is no body
+    private static Optional<byte[]> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            return bytes.length == 0 ? Optional.empty() : Optional.of(bytes);
+        }
+    }
+
+    private static void writeResponse(HttpExchange exchange, HttpResponseMessage response) throws IOException {
+        for (Map.Entry<String, String> header : ((HttpResponseMessageMock) response).getHeaders().entrySet()) {
+            exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+        }
+        Object body = response.getBody();
+        byte[] bytes = body == null ? new byte[0]
+                : body instanceof byte[] ? (byte[]) body
+                : body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(response.getStatusCode(), bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static class LocalExecutionContext implements ExecutionContext {
+        private final String functionName;
+        private final String invocationId = UUID.randomUUID().toString();
+
+        LocalExecutionContext(String method) {
+            this.functionName = method + " " + ROUTE;
+        }
+
+        @Override
+        public Logger getLogger() {
+            return Logger.getLogger(LocalFunctionHost.class.getName());
+        }
+
+        @Override
+        public String getInvocationId() {
+            return invocationId;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return functionName;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.function;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.microsoft.azure.functions.HttpMethod;
+import com.microsoft.azure.functions.HttpRequestMessage;
+import com.microsoft.azure.functions.HttpResponseMessage;
+import com.microsoft.azure.functions.HttpStatus;
+import com.microsoft.azure.functions.HttpStatusType;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Adapts a {@link HttpExchange} received by the local host into the
+ * {@link HttpRequestMessage} the functions are invoked with. Responses are
+ * built with {@link HttpResponseMessageMock}, so the host can read them back.
+ */
+public class LocalHttpRequest<T> implements HttpRequestMessage<T> {
+    private final URI uri;
+    private final HttpMethod httpMethod;
+    private final Map<String, String> headers;
+    private final Map<String, String> queryParameters;
+    private final T body;
+
+    public LocalHttpRequest(HttpExchange exchange, T body) {
+        this.uri = exchange.getRequestURI();
+        this.httpMethod = HttpMethod.value(exchange.getRequestMethod());
+        this.headers = flattenHeaders(exchange.getRequestHeaders());
+        this.queryParameters = parseQuery(uri.getRawQuery());
+        this.body = body;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public Map<String, String> getQueryParameters() {
+        return queryParameters;
+    }
+
+    @Override
+    public T getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatus status) {
+        return new HttpResponseMessageMock.HttpResponseMessageBuilderMock().status(status);
+    }
+
+    @Override
+    public HttpResponseMessage.Builder createResponseBuilder(HttpStatusType status) {
+        return new HttpResponseMessageMock.HttpResponseMessageBuilderMock().status(status);
+    }
+
+    // The Functions host exposes headers lower-cased with only the first value kept
+    private static Map<String, String> flattenHeaders(Map<String, List<String>> raw) {
+        Map<String, String> flat = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : raw.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                flat.put(entry.getKey().toLowerCase(), entry.getValue().get(0));
+            }
+        }
+        return Collections.unmodifiableMap(flat);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(key, value);
+        }
+        return Collections.unmodifiableMap(params);
+    }
+}
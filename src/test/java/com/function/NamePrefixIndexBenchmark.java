@@ -0,0 +1,60 @@
+package com.function;
+
+import java.util.Random;
+
+/**
+ * Measures load time, estimated footprint and lookup latency of the name index
+ * over a synthetic population.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.function.NamePrefixIndexBenchmark -Dexec.args="100000"
+ * </pre>
+ */
+public class NamePrefixIndexBenchmark {
+    private static final String[] SYLLABLES = {"ka", "ri", "sa", "de", "sil", "va", "jo", "hn", "mi", "cha", "el", "per", "era", "fer", "nan", "do"};
+    private static final int LOOKUPS = 200_000;
+
+    public static void main(String[] args) {
+        int persons = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+
+        NamePrefixIndex index = new NamePrefixIndex();
+        long start = System.nanoTime();
+        for (int id = 1; id <= persons; id++) {
+            index.put(id, name(random), name(random));
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = name(random).substring(0, 1 + random.nextInt(3));
+        }
+
+        long matched = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            matched += index.search(prefixes[i % prefixes.length], 10).size();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            matched += index.search(prefixes[i % prefixes.length], 10).size();
+        }
+        long lookupNanos = (System.nanoTime() - start) / LOOKUPS;
+
+        NamePrefixIndex.Stats stats = index.stats();
+        System.out.printf("persons              %10d%n", stats.getPersons());
+        System.out.printf("keys                 %10d%n", stats.getKeys());
+        System.out.printf("estimated footprint  %10d KB%n", stats.getEstimatedBytes() / 1024);
+        System.out.printf("load time            %10d ms%n", loadMillis);
+        System.out.printf("top-10 lookup        %10.2f us (%d matches)%n", lookupNanos / 1000.0, matched);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int parts = 2 + random.nextInt(2);
+        for (int i = 0; i < parts; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.function;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for NamePrefixIndex class.
+ */
+public class NamePrefixIndexTest {
+
+    private static List<Integer> ids(List<NamePrefixIndex.Match> matches) {
+        return matches.stream().map(NamePrefixIndex.Match::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testMatchesFirstLastAndFullNamePrefixes() {
+        NamePrefixIndex index = new NamePrefixIndex();
+        index.put(1, "John", "Doe");
+        index.put(2, "Jane", "Johnson");
+        index.put(3, "Michael", "Scott");
+
+        assertEquals(List.of(1, 2), ids(index.search("jo", 10)));
+        assertEquals(List.of(1), ids(index.search("John D", 10)));
+        assertEquals(List.of(3), ids(index.search("SCO", 10)));
+        assertTrue(index.search("x", 10).isEmpty());
+    }
+
+    @Test
+    public void testLimitCountsPeopleNotNames() {
+        NamePrefixIndex index = new NamePrefixIndex();
+        index.put(1, "Sam", "Samson");
+        index.put(2, "Sara", "Silva");
+        index.put(3, "Sean", "Smith");
+
+        assertEquals(List.of(1, 2), ids(index.search("sa", 2)));
+    }
+
+    @Test
+    public void testUpdateAndDeleteReplaceEntries() {
+        NamePrefixIndex index = new NamePrefixIndex();
+        index.put(1, "John", "Doe");
+        index.put(1, "Jack", "Doe");
+
+        assertTrue(index.search("john", 10).isEmpty());
+        assertEquals(List.of(1), ids(index.search("jack", 10)));
+
+        index.remove(1);
+
+        assertTrue(index.search("doe", 10).isEmpty());
+        assertEquals(0, index.stats().getKeys());
+    }
+}
@@ -0,0 +1,56 @@
+package com.function;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test for PersonStats class.
+ */
+public class PersonStatsTest {
+
+    @Test
+    public void testCreateUpdateAndDeleteMoveCounters() {
+        PersonStats stats = new PersonStats();
+        stats.put(1, "Doe", "1990-01-01");
+        stats.put(2, "Dawson", "1995-06-30");
+        stats.put(3, "Scott", "1975-03-15");
+
+        PersonStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(3, snapshot.getTotalPersons());
+        assertEquals(2L, snapshot.getBirthsPerDecade().get("1990s"));
+        assertEquals(1L, snapshot.getBirthsPerDecade().get("1970s"));
+        assertEquals(2L, snapshot.getLastNameInitials().get("D"));
+
+        stats.put(2, "Silva", "1988-12-01");
+        stats.remove(3);
+
+        snapshot = stats.snapshot();
+        assertEquals(2, snapshot.getTotalPersons());
+        assertEquals(1L, snapshot.getBirthsPerDecade().get("1990s"));
+        assertEquals(1L, snapshot.getBirthsPerDecade().get("1980s"));
+        assertNull(snapshot.getBirthsPerDecade().get("1970s"));
+        assertEquals(1L, snapshot.getLastNameInitials().get("D"));
+        assertEquals(1L, snapshot.getLastNameInitials().get("S"));
+    }
+
+    @Test
+    public void testUnknownValuesHaveTheirOwnBuckets() {
+        PersonStats stats = new PersonStats();
+        stats.put(1, "'t Hooft", null);
+        stats.put(2, "Smith", "not a date");
+
+        PersonStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(2L, snapshot.getBirthsPerDecade().get("unknown"));
+        assertEquals(1L, snapshot.getLastNameInitials().get("other"));
+    }
+
+    @Test
+    public void testDeletingUnknownIdIsIgnored() {
+        PersonStats stats = new PersonStats();
+        stats.put(1, "Doe", "1990-01-01");
+        stats.remove(42);
+
+        assertEquals(1, stats.snapshot().getTotalPersons());
+    }
+}
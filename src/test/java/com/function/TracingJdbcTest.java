@@ -0,0 +1,124 @@
+package com.function;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for TracingJdbc and SqlTracer classes.
+ */
+public class TracingJdbcTest {
+
+    @Test
+    public void testQueryRecordsPrepareExecuteAndRows() throws Exception {
+        SqlTracer tracer = new SqlTracer(1000);
+        Connection raw = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        doReturn(stmt).when(raw).prepareStatement(anyString());
+        doReturn(rs).when(stmt).executeQuery();
+        doReturn(true, true, true, false).when(rs).next();
+
+        try (Connection conn = TracingJdbc.wrap(raw, tracer);
+             PreparedStatement traced = conn.prepareStatement("SELECT *   FROM persons\n WHERE id = ?")) {
+            traced.setInt(1, 7);
+            try (ResultSet results = traced.executeQuery()) {
+                while (results.next()) {
+                    // drain
+                }
+            }
+        }
+
+        SqlTracer.StatementStats stats = tracer.snapshot().get(0);
+        assertEquals("SELECT * FROM persons WHERE id = ?", stats.getSql());
+        assertEquals(1, stats.getCount());
+        assertEquals(3, stats.getRows());
+        assertEquals(1, stats.getPrepareCount());
+        assertEquals(0, stats.getErrors());
+    }
+
+    @Test
+    public void testUpdateCountsRowsAndErrors() throws Exception {
+        SqlTracer tracer = new SqlTracer(1000);
+        Connection raw = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        doReturn(stmt).when(raw).prepareStatement(anyString());
+        doReturn(1).doThrow(new SQLException("boom")).when(stmt).executeUpdate();
+
+        try (Connection conn = TracingJdbc.wrap(raw, tracer);
+             PreparedStatement traced = conn.prepareStatement("DELETE FROM persons WHERE id = ?")) {
+            traced.setInt(1, 3);
+            traced.executeUpdate();
+            assertThrows(SQLException.class, traced::executeUpdate);
+        }
+
+        SqlTracer.StatementStats stats = tracer.snapshot().get(0);
+        assertEquals(2, stats.getCount());
+        assertEquals(1, stats.getRows());
+        assertEquals(1, stats.getErrors());
+    }
+
+    @Test
+    public void testFailedExecutionTimeIsRecorded() throws Exception {
+        SqlTracer tracer = new SqlTracer(1000);
+        Connection raw = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        doReturn(stmt).when(raw).prepareStatement(anyString());
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            throw new SQLException("lock wait timeout");
+        }).when(stmt).executeUpdate();
+
+        try (Connection conn = TracingJdbc.wrap(raw, tracer);
+             PreparedStatement traced = conn.prepareStatement("UPDATE persons SET last_name = ? WHERE id = ?")) {
+            assertThrows(SQLException.class, traced::executeUpdate);
+        }
+
+        SqlTracer.StatementStats stats = tracer.snapshot().get(0);
+        assertEquals(1, stats.getCount());
+        assertEquals(1, stats.getErrors());
+        assertTrue(stats.getMaxMillis() >= 20);
+    }
+
+    @Test
+    public void testPrepareFailureIsCounted() throws Exception {
+        SqlTracer tracer = new SqlTracer(1000);
+        Connection raw = mock(Connection.class);
+        doThrow(new SQLException("bad sql")).when(raw).prepareStatement(anyString());
+
+        Connection conn = TracingJdbc.wrap(raw, tracer);
+        assertThrows(SQLException.class, () -> conn.prepareStatement("SELEC 1"));
+
+        assertEquals(1, tracer.snapshot().get(0).getErrors());
+    }
+
+    @Test
+    public void testShapeReplacesLiterals() {
+        assertEquals("SELECT * FROM persons WHERE last_name = ? AND id > ?",
+            SqlTracer.shape("SELECT * FROM persons WHERE last_name = 'O''Brien' AND id > 42"));
+    }
+
+    @Test
+    public void testHistogramPercentilesStayWithinBucketError() {
+        SqlTracer.Histogram histogram = new SqlTracer.Histogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        assertEquals(5_000, p50, 5_000 * 0.125);
+        assertEquals(9_900, p99, 9_900 * 0.125);
+    }
+}